@@ -1,33 +1,135 @@
 package de.htw_berlin.fb4.mas;
 
+import de.htw_berlin.fb4.mas.worker.LazyHandler;
 import de.htw_berlin.fb4.mas.worker.PrintVariables;
 import de.htw_berlin.fb4.mas.worker.RunAPI;
 import de.htw_berlin.fb4.mas.worker.RunUiPathRobot;
 import de.htw_berlin.fb4.mas.worker.SendMail;
 import org.camunda.bpm.client.ExternalTaskClient;
+import org.camunda.bpm.client.ExternalTaskClientBuilder;
+import org.camunda.bpm.client.task.ExternalTaskHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.management.ManagementFactory;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+/**
+ * Startet die External Task Worker für alle in {@link #WORKERS} beschriebenen Topics.
+ * <p>
+ * Die Handler werden erst beim ersten External Task erstellt (siehe {@link LazyHandler}) und nach dem Start parallel
+ * im Hintergrund aufgewärmt. Ein Handler, dessen Abhängigkeiten fehlen, verhindert so nicht den Start der übrigen.
+ * <p>
+ * Unterstützte System Properties:
+ * <ul>
+ *     <li>workers.topics - kommagetrennte Liste der Topics, die dieser Knoten abonniert (Standard: alle)</li>
+ *     <li>workers.warmUp - Handler nach dem Start im Hintergrund erstellen (Standard: true)</li>
+ *     <li>workers.exitAfterStartup - keine Topics abonnieren, nur die Handler aufwärmen, Start- und Aufwärmzeit
+ *     protokollieren und beenden, z.B. zum Messen der Startzeit oder zum Erzeugen eines CDS-Archivs (Standard: false)</li>
+ * </ul>
+ */
 public class ExternalTaskWorkers {
 
     private static final Logger log = LoggerFactory.getLogger(ExternalTaskWorkers.class);
 
+    private static final List<WorkerDescriptor> WORKERS = List.of(
+            new WorkerDescriptor("print-variables", PrintVariables::new),
+            new WorkerDescriptor("send-mail", SendMail::new),
+            new WorkerDescriptor("create-label", RunAPI::new),
+            new WorkerDescriptor("Adressvalidierung.2.5.10", () -> new RunUiPathRobot(Path.of("Adressvalidierung.2.5.10.nupkg").toAbsolutePath()))
+    );
+
     public static void main(String[] args) {
-        ExternalTaskClient client = ExternalTaskClient.create()
+        List<LazyHandler> handlers = createHandlers();
+
+        if (Boolean.getBoolean("workers.exitAfterStartup")) {
+            runStartupBenchmark(handlers);
+            return;
+        }
+
+        ExternalTaskClient client = createClientBuilder().build();
+
+        for (LazyHandler handler : handlers) {
+            client.subscribe(handler.getTopic()).includeExtensionProperties(true).handler(handler).open();
+        }
+
+        long startupTime = uptime();
+        log.info("ExternalTaskWorkers started in {} ms", startupTime);
+
+        if (Boolean.parseBoolean(System.getProperty("workers.warmUp", "true"))) {
+            warmUp(handlers).thenRun(() -> log.info("ExternalTaskWorkers warmed up in {} ms (started in {} ms)", uptime(), startupTime));
+        }
+    }
+
+    private static ExternalTaskClientBuilder createClientBuilder() {
+        return ExternalTaskClient.create()
                 .baseUrl("http://localhost:8080/engine-rest")
                 .asyncResponseTimeout(20000)
                 .lockDuration(10000)
-                .maxTasks(1)
-                .build();
+                .maxTasks(1);
+    }
 
-        client.subscribe("print-variables").handler(new PrintVariables()).open();
-        client.subscribe("send-mail").handler(new SendMail()).open();
-        client.subscribe("create-label").handler(new RunAPI()).open();
-        client.subscribe("Adressvalidierung.2.5.10").handler(new RunUiPathRobot(Path.of("Adressvalidierung.2.5.10.nupkg").toAbsolutePath())).open();
+    private static List<LazyHandler> createHandlers() {
+        Set<String> enabledTopics = getEnabledTopics();
+
+        List<LazyHandler> handlers = new ArrayList<>();
+        for (WorkerDescriptor worker : WORKERS) {
+            if (enabledTopics != null && !enabledTopics.contains(worker.topic())) {
+                log.info("Skipping topic '{}'", worker.topic());
+                continue;
+            }
+
+            handlers.add(new LazyHandler(worker.topic(), worker.factory()));
+        }
+        return handlers;
+    }
 
+    /**
+     * Erstellt den Client ohne Fetching und ohne Subscriptions und wärmt nur die Handler auf,
+     * sodass keine External Tasks gesperrt oder ausgeführt werden.
+     */
+    private static void runStartupBenchmark(List<LazyHandler> handlers) {
+        createClientBuilder().disableAutoFetching().build();
+
+        long startupTime = uptime();
+        warmUp(handlers).join();
+        long warmUpTime = uptime();
+
+        log.info("Startup benchmark: started in {} ms, warmed up in {} ms (JVM arguments: {})",
+                startupTime, warmUpTime, ManagementFactory.getRuntimeMXBean().getInputArguments());
+    }
+
+    private static Set<String> getEnabledTopics() {
+        String topics = System.getProperty("workers.topics");
+        if (topics == null || topics.isBlank()) {
+            return null;
+        }
+
+        return Arrays.stream(topics.split(","))
+                .map(String::trim)
+                .filter(topic -> !topic.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    private static CompletableFuture<Void> warmUp(List<LazyHandler> handlers) {
+        CompletableFuture<?>[] warmUps = handlers.stream()
+                .map(handler -> CompletableFuture.runAsync(handler::warmUp))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(warmUps);
+    }
+
+    private static long uptime() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
 
-        log.info("ExternalTaskWorkers started");
+    private record WorkerDescriptor(String topic, Supplier<? extends ExternalTaskHandler> factory) {
     }
 }
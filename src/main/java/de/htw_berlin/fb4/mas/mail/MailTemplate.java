@@ -0,0 +1,101 @@
+package de.htw_berlin.fb4.mas.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Vorkompilierte Mail-Vorlage mit Platzhaltern der Form {@code ${variablenname}}.
+ * <p>
+ * Die Vorlage wird beim Kompilieren einmalig in feste Textstücke und Platzhalter zerlegt,
+ * sodass beim Rendern nur noch die benötigten Variablen nachgeschlagen und aneinandergehängt werden.
+ */
+public class MailTemplate {
+
+    private final List<String> literals;
+
+    private final List<String> placeholders;
+
+    private MailTemplate(List<String> literals, List<String> placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Zerlegt den Quelltext einer Vorlage in Textstücke und Platzhalter.
+     *
+     * @throws IllegalArgumentException wenn ein Platzhalter nicht geschlossen oder leer ist
+     */
+    public static MailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+
+        int position = 0;
+        int start;
+        while ((start = source.indexOf("${", position)) >= 0) {
+            int end = source.indexOf('}', start + 2);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at position " + start);
+            }
+
+            String name = source.substring(start + 2, end).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder at position " + start);
+            }
+
+            literals.add(source.substring(position, start));
+            placeholders.add(name);
+            position = end + 1;
+        }
+        literals.add(source.substring(position));
+
+        return new MailTemplate(List.copyOf(literals), List.copyOf(placeholders));
+    }
+
+    /**
+     * Rendert die Vorlage, ohne die eingesetzten Werte zu maskieren.
+     */
+    public String render(Function<String, Object> variables) {
+        return render(variables, UnaryOperator.identity());
+    }
+
+    /**
+     * Rendert die Vorlage. Jeder eingesetzte Wert wird vorher mit {@code escaper} maskiert.
+     *
+     * @throws IllegalArgumentException wenn eine benötigte Variable nicht gesetzt ist
+     */
+    public String render(Function<String, Object> variables, UnaryOperator<String> escaper) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < placeholders.size(); i++) {
+            String name = placeholders.get(i);
+            Object value = variables.apply(name);
+            if (value == null) {
+                throw new IllegalArgumentException("Variable '" + name + "' is not set");
+            }
+
+            builder.append(literals.get(i)).append(escaper.apply(String.valueOf(value)));
+        }
+        builder.append(literals.get(literals.size() - 1));
+
+        return builder.toString();
+    }
+
+    /**
+     * Maskiert die in HTML reservierten Zeichen.
+     */
+    public static String escapeHtml(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '<' -> builder.append("&lt;");
+                case '>' -> builder.append("&gt;");
+                case '&' -> builder.append("&amp;");
+                case '"' -> builder.append("&quot;");
+                case '\'' -> builder.append("&#39;");
+                default -> builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,84 @@
+package de.htw_berlin.fb4.mas.mail;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Lädt {@link MailTemplate}s aus einem Verzeichnis und hält sie kompiliert im Speicher.
+ * <p>
+ * Zu einer Vorlagen-ID {@code auftragsbestaetigung} werden folgende Dateien gesucht:
+ * <ul>
+ *     <li>auftragsbestaetigung.subject.txt - Betreff (optional)</li>
+ *     <li>auftragsbestaetigung.txt - Text-Inhalt</li>
+ *     <li>auftragsbestaetigung.html - HTML-Inhalt</li>
+ * </ul>
+ * Eine Vorlage wird erst beim ersten Zugriff kompiliert und erneut geladen, sobald sich der
+ * Änderungszeitpunkt der Datei ändert.
+ */
+public class MailTemplates {
+
+    private static final Logger log = LoggerFactory.getLogger(MailTemplates.class);
+
+    private static final Pattern TEMPLATE_ID = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final Path directory;
+
+    private final ConcurrentMap<Path, CachedTemplate> cache = new ConcurrentHashMap<>();
+
+    public MailTemplates(Path directory) {
+        this.directory = directory;
+    }
+
+    public Optional<MailTemplate> subject(String templateId) throws IOException {
+        return get(templateId, ".subject.txt");
+    }
+
+    public Optional<MailTemplate> text(String templateId) throws IOException {
+        return get(templateId, ".txt");
+    }
+
+    public Optional<MailTemplate> html(String templateId) throws IOException {
+        return get(templateId, ".html");
+    }
+
+    private Optional<MailTemplate> get(String templateId, String suffix) throws IOException {
+        if (!TEMPLATE_ID.matcher(templateId).matches()) {
+            throw new IllegalArgumentException("Invalid template id '" + templateId + "'");
+        }
+
+        Path file = directory.resolve(templateId + suffix);
+
+        FileTime lastModified;
+        try {
+            lastModified = Files.getLastModifiedTime(file);
+        } catch (NoSuchFileException e) {
+            cache.remove(file);
+            return Optional.empty();
+        }
+
+        CachedTemplate cached = cache.get(file);
+        if (cached != null && cached.lastModified().equals(lastModified)) {
+            return Optional.of(cached.template());
+        }
+
+        log.info("Compiling mail template {}", file.toAbsolutePath());
+        MailTemplate template = MailTemplate.compile(Files.readString(file, StandardCharsets.UTF_8));
+        cache.put(file, new CachedTemplate(lastModified, template));
+
+        return Optional.of(template);
+    }
+
+    private record CachedTemplate(FileTime lastModified, MailTemplate template) {
+    }
+}
@@ -0,0 +1,95 @@
+package de.htw_berlin.fb4.mas.worker;
+
+import org.camunda.bpm.client.task.ExternalTask;
+import org.camunda.bpm.client.task.ExternalTaskHandler;
+import org.camunda.bpm.client.task.ExternalTaskService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.function.Supplier;
+
+/**
+ * Implementierung eines {@link ExternalTaskHandler}, der den eigentlichen Handler erst beim ersten {@link ExternalTask}
+ * (oder beim Aufwärmen über {@link #warmUp()}) erstellt.
+ * <p>
+ * Schlägt das Erstellen fehl, z.B. weil eine Konfigurationsdatei fehlt, wird für den {@link ExternalTask} ein Incident
+ * erzeugt. Die übrigen Handler und der Prozess laufen weiter, beim nächsten {@link ExternalTask} wird das Erstellen
+ * erneut versucht.
+ */
+public class LazyHandler implements ExternalTaskHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(LazyHandler.class);
+
+    private final String topic;
+
+    private final Supplier<? extends ExternalTaskHandler> factory;
+
+    private volatile ExternalTaskHandler handler;
+
+    public LazyHandler(String topic, Supplier<? extends ExternalTaskHandler> factory) {
+        this.topic = topic;
+        this.factory = factory;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Erstellt den Handler, falls er noch nicht existiert. Fehler werden nur protokolliert.
+     */
+    public void warmUp() {
+        try {
+            initialize();
+        } catch (RuntimeException e) {
+            log.warn("Could not initialize handler for topic '{}': {}", topic, e.getMessage());
+        }
+    }
+
+    @Override
+    public void execute(ExternalTask externalTask, ExternalTaskService externalTaskService) {
+        ExternalTaskHandler initializedHandler;
+        try {
+            initializedHandler = initialize();
+        } catch (RuntimeException e) {
+            handleFailure(externalTask, externalTaskService, e);
+            return;
+        }
+
+        initializedHandler.execute(externalTask, externalTaskService);
+    }
+
+    private ExternalTaskHandler initialize() {
+        ExternalTaskHandler result = handler;
+        if (result == null) {
+            synchronized (this) {
+                result = handler;
+                if (result == null) {
+                    long start = System.nanoTime();
+                    result = factory.get();
+                    handler = result;
+                    log.info("Initialized handler for topic '{}' in {} ms", topic, (System.nanoTime() - start) / 1_000_000);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void handleFailure(ExternalTask externalTask, ExternalTaskService externalTaskService, Exception exception) {
+        log.error("Failed to initialize handler for topic '{}'", topic, exception);
+
+        String errorMessage = "Handler Initialization Failed";
+
+        StringWriter stackTraceWriter = new StringWriter();
+        exception.printStackTrace(new PrintWriter(stackTraceWriter));
+        String errorDetails = stackTraceWriter.toString();
+
+        int retries = 0;
+        long retryTimeout = 0;
+
+        log.info("Creating incident for process instance {} with message '{}'", externalTask.getProcessInstanceId(), errorMessage);
+        externalTaskService.handleFailure(externalTask, errorMessage, errorDetails, retries, retryTimeout);
+    }
+}
@@ -29,22 +29,26 @@ import java.nio.file.Path;
 import java.util.*;
 
 /**
- * This class handles external tasks in Camunda, fetches service point locations based on provided address data,
- * prepares an email body with the fetched data, and sends the email.
+ * This class handles external tasks in Camunda, creates a DHL return shipping label for the provided address data
+ * and saves the label as a PDF file.
  */
 public class RunAPI implements ExternalTaskHandler {
     private static final Logger log = LoggerFactory.getLogger(RunAPI.class);
 
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final CloseableHttpClient httpClient;
+
 
     /**
-     * Constructor that loads mail properties from a file.
+     * Constructor that creates the pooled HTTP client shared by all requests of this handler.
      */
     public RunAPI() {
-
+        httpClient = HttpClients.createDefault();
     }
 
     /**
-     * Executes the external task by fetching service point locations, preparing the email body, and sending the email.
+     * Executes the external task by requesting an access token, creating the shipping label and saving it as a PDF file.
      *
      * @param externalTask the external task
      * @param externalTaskService the external task service
@@ -86,7 +90,7 @@ public class RunAPI implements ExternalTaskHandler {
     private String tokenRequester() {
         String tokenUrl = "https://api-sandbox.dhl.com/parcel/de/account/auth/ropc/v1/token";
 
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
+        try {
             HttpPost post = new HttpPost(tokenUrl);
 
             post.setHeader("Content-Type", "application/x-www-form-urlencoded");
@@ -99,7 +103,6 @@ public class RunAPI implements ExternalTaskHandler {
 
             try (CloseableHttpResponse response = httpClient.execute(post)) {
                 if (response.getStatusLine().getStatusCode() == 200) {
-                    ObjectMapper objectMapper = new ObjectMapper();
                     String responseBody = new String(response.getEntity().getContent().readAllBytes(), StandardCharsets.UTF_8);
                     return objectMapper.readTree(responseBody).get("access_token").asText();
                 } else {
@@ -115,41 +118,38 @@ public class RunAPI implements ExternalTaskHandler {
 
     private String createShippingLabelRaw(String token, String receiverId, String name, String street,
                                           String houseNumber, String postalCode, String city) throws Exception {
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-            HttpPost post = new HttpPost("https://api-sandbox.dhl.com/parcel/de/shipping/returns/v1/orders?labelType=BOTH");
-
-            post.setHeader("Authorization", "Bearer " + token);
-            post.setHeader("Content-Type", "application/json");
-
-            String body = String.format("""
-                {
-                    "receiverId": "%s",
-                    "shipper": {
-                        "name1": "%s",
-                        "addressStreet": "%s",
-                        "addressHouse": "%s",
-                        "postalCode": "%s",
-                        "city": "%s"
-                    },
-                    "labelType": "PDF"
-                }
-                """, receiverId, name, street, houseNumber, postalCode, city);
+        HttpPost post = new HttpPost("https://api-sandbox.dhl.com/parcel/de/shipping/returns/v1/orders?labelType=BOTH");
+
+        post.setHeader("Authorization", "Bearer " + token);
+        post.setHeader("Content-Type", "application/json");
+
+        String body = String.format("""
+            {
+                "receiverId": "%s",
+                "shipper": {
+                    "name1": "%s",
+                    "addressStreet": "%s",
+                    "addressHouse": "%s",
+                    "postalCode": "%s",
+                    "city": "%s"
+                },
+                "labelType": "PDF"
+            }
+            """, receiverId, name, street, houseNumber, postalCode, city);
 
-            post.setEntity(new StringEntity(body, StandardCharsets.UTF_8));
+        post.setEntity(new StringEntity(body, StandardCharsets.UTF_8));
 
-            try (CloseableHttpResponse response = httpClient.execute(post)) {
-                if (response.getStatusLine().getStatusCode() == 201) {
-                    return new String(response.getEntity().getContent().readAllBytes(), StandardCharsets.UTF_8);
-                } else {
-                    log.error("Fehler beim Erstellen des Versandetiketts. Status: {}", response.getStatusLine().getStatusCode());
-                    throw new RuntimeException("Fehler beim Erstellen des Versandetiketts.");
-                }
+        try (CloseableHttpResponse response = httpClient.execute(post)) {
+            if (response.getStatusLine().getStatusCode() == 201) {
+                return new String(response.getEntity().getContent().readAllBytes(), StandardCharsets.UTF_8);
+            } else {
+                log.error("Fehler beim Erstellen des Versandetiketts. Status: {}", response.getStatusLine().getStatusCode());
+                throw new RuntimeException("Fehler beim Erstellen des Versandetiketts.");
             }
         }
     }
 
     private LabelResponse mapJsonToLabelResponse(String jsonResponse) throws Exception {
-        ObjectMapper objectMapper = new ObjectMapper();
         return objectMapper.readValue(jsonResponse, LabelResponse.class);
     }
 
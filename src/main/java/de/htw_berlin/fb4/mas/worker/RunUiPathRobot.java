@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static com.fasterxml.jackson.core.JsonParser.Feature.ALLOW_SINGLE_QUOTES;
 import static java.util.concurrent.TimeUnit.MINUTES;
@@ -55,7 +56,7 @@ public class RunUiPathRobot implements ExternalTaskHandler {
 
     private static final ObjectMapper objectMapper = new ObjectMapper().configure(ALLOW_SINGLE_QUOTES, true);
 
-    private static final Path uiRobotExecutable = findUiRobotExecutable();
+    private final Path uiRobotExecutable;
 
     private final Path projectPackage;
 
@@ -66,6 +67,7 @@ public class RunUiPathRobot implements ExternalTaskHandler {
      * und den angegebenen Prozess ausführt.
      */
     public RunUiPathRobot(String processName) {
+        this.uiRobotExecutable = findUiRobotExecutable();
         this.projectPackage = null;
         this.processName = processName;
     }
@@ -83,6 +85,7 @@ public class RunUiPathRobot implements ExternalTaskHandler {
             throw new IllegalArgumentException(projectPackage + " is not a regular file");
         }
 
+        this.uiRobotExecutable = findUiRobotExecutable();
         this.projectPackage = projectPackage;
         this.processName = null;
     }
@@ -232,11 +235,10 @@ public class RunUiPathRobot implements ExternalTaskHandler {
     }
 
     private static Path findUiRobotExecutable() {
-        List<Path> installationFolders = List.of(
-                Path.of(System.getenv("LOCALAPPDATA"), "Programs"),
-                Path.of(System.getenv("ProgramFiles")),
-                Path.of(System.getenv("ProgramFiles(x86)"))
-        );
+        List<Path> installationFolders = new ArrayList<>();
+        Optional.ofNullable(System.getenv("LOCALAPPDATA")).map(folder -> Path.of(folder, "Programs")).ifPresent(installationFolders::add);
+        Optional.ofNullable(System.getenv("ProgramFiles")).map(Path::of).ifPresent(installationFolders::add);
+        Optional.ofNullable(System.getenv("ProgramFiles(x86)")).map(Path::of).ifPresent(installationFolders::add);
 
         return installationFolders.stream()
                 .map(installationFolder -> installationFolder.resolve("UiPath\\Studio\\UiRobot.exe"))
@@ -1,5 +1,7 @@
 package de.htw_berlin.fb4.mas.worker;
 
+import de.htw_berlin.fb4.mas.mail.MailTemplate;
+import de.htw_berlin.fb4.mas.mail.MailTemplates;
 import jakarta.mail.Authenticator;
 import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
@@ -7,18 +9,22 @@ import jakarta.mail.PasswordAuthentication;
 import jakarta.mail.Session;
 import jakarta.mail.Transport;
 import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeBodyPart;
 import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
 import org.camunda.bpm.client.task.ExternalTask;
 import org.camunda.bpm.client.task.ExternalTaskHandler;
 import org.camunda.bpm.client.task.ExternalTaskService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Optional;
 import java.util.Properties;
 
 import static jakarta.mail.Message.RecipientType.CC;
@@ -40,6 +46,13 @@ import static jakarta.mail.Message.RecipientType.TO;
  *     <li>body = Sehr geehrte Damen und Herren, hiermit bestätigen wir Ihnen Auftrag ${auftragsnummer}.</li>
  * </ul>
  * <p>
+ * Alternativ kann statt "subject" und "body" eine Vorlage verwendet werden. Die Vorlagen-ID wird aus der
+ * Extension Property "template" des Service Tasks oder, falls diese fehlt, aus der Variable "template" gelesen.
+ * Die Vorlagen liegen im Verzeichnis mail-templates im Ausführungsverzeichnis (siehe {@link MailTemplates})
+ * und enthalten Platzhalter wie {@code ${auftragsnummer}}, die beim Versenden durch die gleichnamigen Variablen
+ * ersetzt werden. Existieren sowohl eine Text- als auch eine HTML-Vorlage, wird eine multipart/alternative-Mail
+ * versendet. Fehlt die Betreff-Vorlage, wird die Variable "subject" verwendet.
+ * <p>
  * Die Konfiguration erfolgt über die Datei mail.properties, die sich im Ausführungsverzeichnis befinden muss.
  * Beim Start aus der IDE ist es das Verzeichnis, das die Datei pom.xml enthält.
  * Die Datei mail.properties muss folgende Einstellungen enthalten:
@@ -56,6 +69,10 @@ public class SendMail implements ExternalTaskHandler {
 
     private final Properties mailProperties;
 
+    private final Session session;
+
+    private final MailTemplates mailTemplates = new MailTemplates(Path.of("mail-templates").toAbsolutePath());
+
     public SendMail() {
         mailProperties = new Properties();
         try (InputStream inputStream = Files.newInputStream(Path.of("mail.properties").toAbsolutePath())) {
@@ -67,6 +84,8 @@ public class SendMail implements ExternalTaskHandler {
         mailProperties.put("mail.smtp.auth", true);
         mailProperties.put("mail.smtp.starttls.enable", "true");
         mailProperties.put("mail.smtp.ssl.trust", mailProperties.getProperty("mail.smtp.host"));
+
+        session = createSession();
     }
 
     @Override
@@ -76,30 +95,78 @@ public class SendMail implements ExternalTaskHandler {
         String from = externalTask.getVariable("from");
         String to = externalTask.getVariable("to");
         String cc = externalTask.getVariable("cc");
-        String subject = externalTask.getVariable("subject");
-        String body = externalTask.getVariable("body");
 
         try {
-            log.info("Sending mail with subject '{}' to '{}'{}", subject, to, cc != null ? " (cc: '" + cc + "')" : "");
-            sendMail(from, to, cc, subject, body);
+            String templateId = getTemplateId(externalTask);
+            MimeMessage message = templateId != null
+                    ? createTemplateMessage(session, templateId, externalTask)
+                    : createTextMessage(session, externalTask.getVariable("subject"), externalTask.getVariable("body"));
+
+            log.info("Sending mail with subject '{}' to '{}'{}", message.getSubject(), to, cc != null ? " (cc: '" + cc + "')" : "");
+            sendMail(message, from, to, cc);
 
             externalTaskService.complete(externalTask);
-        } catch (MessagingException e) {
+        } catch (MessagingException | IOException | IllegalArgumentException e) {
             handleFailure(externalTask, externalTaskService, e);
         }
     }
 
-    private void sendMail(String from, String to, String cc, String subject, String body) throws MessagingException {
-        Session session = createSession();
+    private static String getTemplateId(ExternalTask externalTask) {
+        String templateId = externalTask.getExtensionProperty("template");
+        if (templateId == null || templateId.isBlank()) {
+            Object templateVariable = externalTask.getVariable("template");
+            if (templateVariable != null && !(templateVariable instanceof String)) {
+                throw new IllegalArgumentException("Variable 'template' must be a String, but is " + templateVariable.getClass().getName());
+            }
+            templateId = (String) templateVariable;
+        }
+        return templateId == null || templateId.isBlank() ? null : templateId.trim();
+    }
+
+    private static MimeMessage createTextMessage(Session session, String subject, String body) throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        message.setSubject(subject);
+        message.setText(body);
+        return message;
+    }
+
+    private MimeMessage createTemplateMessage(Session session, String templateId, ExternalTask externalTask) throws MessagingException, IOException {
+        Optional<MailTemplate> subjectTemplate = mailTemplates.subject(templateId);
+        Optional<MailTemplate> textTemplate = mailTemplates.text(templateId);
+        Optional<MailTemplate> htmlTemplate = mailTemplates.html(templateId);
+
+        if (textTemplate.isEmpty() && htmlTemplate.isEmpty()) {
+            throw new IllegalArgumentException("Mail template '" + templateId + "' does not exist");
+        }
+
+        MimeMessage message = new MimeMessage(session);
+        message.setSubject(subjectTemplate.isPresent()
+                ? subjectTemplate.get().render(externalTask::getVariable).strip()
+                : externalTask.getVariable("subject"), "UTF-8");
+
+        if (textTemplate.isPresent() && htmlTemplate.isPresent()) {
+            MimeBodyPart textPart = new MimeBodyPart();
+            textPart.setText(textTemplate.get().render(externalTask::getVariable), "UTF-8");
+
+            MimeBodyPart htmlPart = new MimeBodyPart();
+            htmlPart.setText(htmlTemplate.get().render(externalTask::getVariable, MailTemplate::escapeHtml), "UTF-8", "html");
 
-        Message message = new MimeMessage(session);
+            message.setContent(new MimeMultipart("alternative", textPart, htmlPart));
+        } else if (htmlTemplate.isPresent()) {
+            message.setText(htmlTemplate.get().render(externalTask::getVariable, MailTemplate::escapeHtml), "UTF-8", "html");
+        } else {
+            message.setText(textTemplate.get().render(externalTask::getVariable), "UTF-8");
+        }
+
+        return message;
+    }
+
+    private static void sendMail(Message message, String from, String to, String cc) throws MessagingException {
         message.setFrom(new InternetAddress(from));
         message.setRecipients(TO, InternetAddress.parse(to));
         if (cc != null) {
             message.setRecipients(CC, InternetAddress.parse(cc));
         }
-        message.setSubject(subject);
-        message.setText(body);
 
         Transport.send(message);
     }